@@ -4,10 +4,16 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.mojang.brigadier.CommandDispatcher;
 import es.redactado.command.types.BaseCommand;
+import es.redactado.config.ConfigContainer;
 import es.redactado.loader.Loader;
+import es.redactado.loader.LoaderResources;
+import es.redactado.loader.commands.LoaderResourcesCommand;
 import es.redactado.loader.annotations.LoaderData;
 import es.redactado.loader.annotations.LoaderData.LoaderDependency;
 import es.redactado.loader.enums.LoaderDependencyType;
+import es.redactado.logging.FileLogSink;
+import es.redactado.logging.Logger;
+import es.redactado.watchdog.Watchdog;
 import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -19,11 +25,13 @@ public abstract class RPlugin extends JavaPlugin {
     private final List<BaseCommand> commands = new ArrayList<>();
     private CommandDispatcher<CommandSender> dispatcher;
     private Injector injector;
+    private Watchdog watchdog;
 
     @Override
     public void onEnable() {
         // Create the main injector
         injector = Guice.createInjector(new RPluginModule(this));
+        watchdog = injector.getInstance(Watchdog.class);
 
         // Load and sort loaders
         try {
@@ -39,8 +47,10 @@ public abstract class RPlugin extends JavaPlugin {
         }
 
         // Register commands
+        commands.add(new LoaderResourcesCommand(this));
         dispatcher = injector.getInstance(CommandDispatcher.class);
         for (BaseCommand command : commands) {
+            command.setWatchdog(watchdog);
             command.register(dispatcher);
         }
     }
@@ -51,6 +61,44 @@ public abstract class RPlugin extends JavaPlugin {
         for (int i = loaders.size() - 1; i >= 0; i--) {
             disableLoader(loaders.get(i));
         }
+
+        // onEnable may have failed before these were created
+        if (watchdog != null) {
+            watchdog.shutdown();
+        }
+        if (injector != null) {
+            injector.getInstance(FileLogSink.class).close();
+        }
+    }
+
+    /**
+     * Gets the injector of this plugin, null until it is enabled.
+     *
+     * @return the injector
+     */
+    public Injector getInjector() {
+        return injector;
+    }
+
+    /**
+     * Gets the registered loaders in their sorted order.
+     *
+     * @return an unmodifiable view of the loaders
+     */
+    public List<Loader> getLoaders() {
+        return Collections.unmodifiableList(loaders);
+    }
+
+    /**
+     * Reloads the RCore settings, then all loaders in their sorted order.
+     */
+    public void reloadLoaders() {
+        watchdog.reloadConfig().join();
+        injector.getInstance(Logger.class).reloadConfig().join();
+
+        for (Loader loader : loaders) {
+            reloadLoader(loader);
+        }
     }
 
     /**
@@ -184,11 +232,29 @@ public abstract class RPlugin extends JavaPlugin {
      * Enables a single loader.
      */
     private void enableLoader(Loader loader) {
-        try {
+        LoaderResources.Snapshot before = LoaderResources.snapshot(this);
+        try (Watchdog.Section ignored = Watchdog.enter(watchdog, "loader:" + getLoaderId(loader) + ":enable")) {
             getLogger().info("Enabling loader: " + getLoaderId(loader));
             loader.onEnable(injector);
         } catch (Exception e) {
             throw new RuntimeException("Failed to enable loader: " + getLoaderId(loader), e);
+        } finally {
+            // Tasks and listeners created by the loader belong to it, even if it failed halfway
+            loader.getResources().recordSince(this, before);
+        }
+
+        // Configs tracked by the loader have their reloads watched
+        for (ConfigContainer<?> config : loader.getResources().getConfigs()) {
+            config.setWatchdog(watchdog);
+        }
+
+        // Commands tracked by the loader, registered right away if the plugin is already running
+        for (BaseCommand command : loader.getResources().getCommands()) {
+            commands.add(command);
+            if (dispatcher != null) {
+                command.setWatchdog(watchdog);
+                command.register(dispatcher);
+            }
         }
     }
 
@@ -196,19 +262,62 @@ public abstract class RPlugin extends JavaPlugin {
      * Disables a single loader.
      */
     private void disableLoader(Loader loader) {
-        try {
+        try (Watchdog.Section ignored = Watchdog.enter(watchdog, "loader:" + getLoaderId(loader) + ":disable")) {
             getLogger().info("Disabling loader: " + getLoaderId(loader));
             loader.onDisable(injector);
         } catch (Exception e) {
             getLogger().severe("Failed to disable loader: " + getLoaderId(loader));
             e.printStackTrace();
         }
+
+        // Release whatever the loader left behind, even if its onDisable failed
+        List<BaseCommand> loaderCommands = loader.getResources().getCommands();
+        if (!loaderCommands.isEmpty()) {
+            commands.removeAll(loaderCommands);
+            // Not worth rebuilding once per loader while the whole plugin shuts down
+            if (dispatcher != null && isEnabled()) {
+                rebuildDispatcher();
+            }
+        }
+
+        List<String> leaks = loader.getResources().release(this);
+        if (!leaks.isEmpty()) {
+            getLogger().warning("Loader " + getLoaderId(loader) + " did not release " + leaks.size() + " resources: " + String.join(", ", leaks));
+        }
+    }
+
+    /**
+     * Replaces the dispatcher with a new one holding the remaining commands.
+     * Brigadier has no way to remove a registered node, so this is how commands are unregistered.
+     */
+    private void rebuildDispatcher() {
+        dispatcher = injector.getInstance(CommandDispatcher.class);
+        for (BaseCommand command : commands) {
+            command.setWatchdog(watchdog);
+            command.register(dispatcher);
+        }
+    }
+
+    /**
+     * Reloads a single loader.
+     */
+    private void reloadLoader(Loader loader) {
+        LoaderResources.Snapshot before = LoaderResources.snapshot(this);
+        try (Watchdog.Section ignored = Watchdog.enter(watchdog, "loader:" + getLoaderId(loader) + ":reload")) {
+            getLogger().info("Reloading loader: " + getLoaderId(loader));
+            loader.onReload(injector);
+        } catch (Exception e) {
+            getLogger().severe("Failed to reload loader: " + getLoaderId(loader));
+            e.printStackTrace();
+        } finally {
+            loader.getResources().recordSince(this, before);
+        }
     }
 
     /**
      * Gets the ID of a loader from its @LoaderData annotation.
      */
-    private String getLoaderId(Loader loader) {
+    public String getLoaderId(Loader loader) {
         LoaderData data = loader.getClass().getAnnotation(LoaderData.class);
         return data != null ? data.id() : "Unknown";
     }
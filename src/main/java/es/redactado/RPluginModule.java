@@ -2,8 +2,13 @@ package es.redactado;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
+import com.google.inject.Singleton;
 import com.google.inject.name.Named;
+import es.redactado.config.ConfigContainer;
 import es.redactado.logging.Logger;
+import es.redactado.logging.LoggingConfig;
+import es.redactado.watchdog.Watchdog;
+import es.redactado.watchdog.WatchdogConfig;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -22,9 +27,22 @@ public class RPluginModule extends AbstractModule {
     protected void configure() {
         bind(JavaPlugin.class).toInstance(plugin);
         bind(Logger.class).asEagerSingleton();
+        bind(Watchdog.class).asEagerSingleton();
         bind(String.class).annotatedWith(Named.class).toInstance("config.yml");
     }
 
+    @Provides
+    @Singleton
+    private ConfigContainer<LoggingConfig> provideLoggingConfig() {
+        return ConfigContainer.load(plugin.getDataFolder().toPath(), "logging.yml", LoggingConfig.class);
+    }
+
+    @Provides
+    @Singleton
+    private ConfigContainer<WatchdogConfig> provideWatchdogConfig() {
+        return ConfigContainer.load(plugin.getDataFolder().toPath(), "watchdog.yml", WatchdogConfig.class);
+    }
+
     @Provides
     private BukkitAudiences provideBukkitAudiences() {
         return BukkitAudiences.create(plugin);
@@ -7,6 +7,8 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import es.redactado.command.exceptions.CommandSetupException;
 import es.redactado.command.exceptions.CommandSuggestionBuildingException;
 import es.redactado.command.exceptions.SubCommandFetchException;
+import es.redactado.watchdog.Watchdog;
+import lombok.Setter;
 import org.bukkit.command.CommandSender;
 
 import java.util.ArrayList;
@@ -22,6 +24,12 @@ public abstract class BaseCommand {
 
     private final List<SubCommand> subCommands = new ArrayList<>();
 
+    /**
+     * Watchdog tracking the execution of this command and its subcommands, may be null.
+     */
+    @Setter
+    private Watchdog watchdog;
+
     /**
      * Registers the command and its subcommands with the given dispatcher.
      *
@@ -31,10 +39,12 @@ public abstract class BaseCommand {
         try {
             LiteralArgumentBuilder<CommandSender> command = LiteralArgumentBuilder.<CommandSender>literal(getName())
                     .requires(sender -> sender != null && sender.hasPermission(getPermission())) // Permission check
-                    .executes(this::executeDefault); // Default execution
+                    .executes(this::executeTracked); // Default execution
 
             // Register all subcommands
             for (SubCommand subCommand : subCommands) {
+                subCommand.setWatchdog(watchdog);
+                subCommand.setParentName(getName());
                 command.then(subCommand.build());
             }
 
@@ -44,6 +54,15 @@ public abstract class BaseCommand {
         }
     }
 
+    /**
+     * Runs {@link #executeDefault(CommandContext)} inside a watchdog section.
+     */
+    private int executeTracked(CommandContext<CommandSender> context) {
+        try (Watchdog.Section ignored = Watchdog.enter(watchdog, "command:" + getName())) {
+            return executeDefault(context);
+        }
+    }
+
     /**
      * Adds a subcommand to this command.
      *
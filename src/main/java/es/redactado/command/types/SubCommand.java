@@ -5,6 +5,9 @@ import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
+import es.redactado.watchdog.Watchdog;
+import lombok.AccessLevel;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.bukkit.command.CommandSender;
 
@@ -19,6 +22,18 @@ import java.util.List;
 @Slf4j
 public abstract class SubCommand {
 
+    /**
+     * Watchdog tracking the execution and suggestions of this subcommand, may be null.
+     */
+    @Setter
+    private Watchdog watchdog;
+
+    /**
+     * Name of the command this subcommand is registered under, set by {@link BaseCommand}.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private String parentName;
+
     /**
      * Builds the Brigadier node for this subcommand.
      *
@@ -27,7 +42,7 @@ public abstract class SubCommand {
     public LiteralArgumentBuilder<CommandSender> build() {
         return LiteralArgumentBuilder.<CommandSender>literal(getName())
                 .requires(sender -> sender != null && sender.hasPermission(getPermission())) // Permission check
-                .executes(this::execute) // Main execution logic
+                .executes(this::executeTracked) // Main execution logic
                 .then(RequiredArgumentBuilder.<CommandSender, String>argument("argument", StringArgumentType.word()) // Argument with suggestions
                         .suggests(getSuggestions())); // Suggestion provider for dynamic tab completion
     }
@@ -39,14 +54,33 @@ public abstract class SubCommand {
      */
     private SuggestionProvider<CommandSender> getSuggestions() {
         return (context, builder) -> {
-            List<String> suggestions = suggest(context, builder.getInput().split(" ")); // Method to fetch custom suggestions
-            for (String suggestion : suggestions) {
-                builder.suggest(suggestion);
+            try (Watchdog.Section ignored = Watchdog.enter(watchdog, "suggest:" + getSectionName())) {
+                List<String> suggestions = suggest(context, builder.getInput().split(" ")); // Method to fetch custom suggestions
+                for (String suggestion : suggestions) {
+                    builder.suggest(suggestion);
+                }
+                return builder.buildFuture();
             }
-            return builder.buildFuture();
         };
     }
 
+    /**
+     * Runs {@link #execute(CommandContext)} inside a watchdog section.
+     */
+    private int executeTracked(CommandContext<CommandSender> context) {
+        try (Watchdog.Section ignored = Watchdog.enter(watchdog, "command:" + getSectionName())) {
+            return execute(context);
+        }
+    }
+
+    /**
+     * Gets the name used for the watchdog sections of this subcommand, including its parent command
+     * so subcommands sharing a name under different commands are reported apart.
+     */
+    private String getSectionName() {
+        return parentName != null ? parentName + " " + getName() : getName();
+    }
+
     /**
      * Gets the name of this subcommand.
      *
@@ -3,7 +3,9 @@ package es.redactado.config;
 import de.exlll.configlib.NameFormatters;
 import de.exlll.configlib.YamlConfigurationProperties;
 import de.exlll.configlib.YamlConfigurations;
+import es.redactado.watchdog.Watchdog;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
@@ -14,6 +16,7 @@ public class ConfigContainer<C> {
     private final Class<C> clazz;
     private final String fileName;
     private final Path path;
+    private volatile Watchdog watchdog;
 
     private final YamlConfigurationProperties properties = YamlConfigurationProperties.newBuilder()
             .setNameFormatter(NameFormatters.IDENTITY)
@@ -40,13 +43,15 @@ public class ConfigContainer<C> {
 
     public CompletableFuture<Void> reload() {
         return CompletableFuture.runAsync(() -> {
-            C config = YamlConfigurations.update(
-                    path.resolve(fileName),
-                    clazz,
-                    properties
-            );
+            try (Watchdog.Section ignored = Watchdog.enter(watchdog, "config:" + fileName + ":reload")) {
+                C config = YamlConfigurations.update(
+                        path.resolve(fileName),
+                        clazz,
+                        properties
+                );
 
-            configuration.set(config);
+                configuration.set(config);
+            }
         });
     }
 
@@ -62,6 +67,11 @@ public class ConfigContainer<C> {
         });
     }
 
+    public ConfigContainer<C> setWatchdog(@Nullable Watchdog watchdog) {
+        this.watchdog = watchdog;
+        return this;
+    }
+
     public C get() {
         return configuration.get();
     }
@@ -73,4 +83,5 @@ public class ConfigContainer<C> {
     ) {
         return new ConfigContainer<>(clazz, fileName, path);
     }
+
 }
\ No newline at end of file
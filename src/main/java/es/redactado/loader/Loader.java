@@ -1,10 +1,17 @@
 package es.redactado.loader;
 
 import com.google.inject.Injector;
+import lombok.Getter;
 
 public abstract class Loader {
     public Injector injector;
 
+    /**
+     * The resources owned by this loader, released once it is disabled.
+     */
+    @Getter
+    private final LoaderResources resources = new LoaderResources();
+
     public Loader(Injector injector) {
         this.injector = injector;
     }
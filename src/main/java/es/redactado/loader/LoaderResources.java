@@ -0,0 +1,208 @@
+package es.redactado.loader;
+
+import es.redactado.command.types.BaseCommand;
+import es.redactado.config.ConfigContainer;
+import org.bukkit.Bukkit;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ledger of the resources owned by a {@link Loader}.
+ * <p>
+ * The plugin records the tasks and listeners a loader creates while it is enabled or reloaded, by
+ * comparing {@link #snapshot(Plugin) snapshots} taken around those calls. Loaders record the configs
+ * and commands they create, and the tasks and listeners they create later, for example from another
+ * task, through the {@code track} methods. Everything recorded is accounted for while the loader runs
+ * and released once it is disabled.
+ */
+public class LoaderResources {
+    private final List<BukkitTask> tasks = new ArrayList<>();
+    private final List<Listener> listeners = new ArrayList<>();
+    private final List<ConfigContainer<?>> configs = new ArrayList<>();
+    private final List<BaseCommand> commands = new ArrayList<>();
+
+    /**
+     * Records a scheduled task. Tasks that already finished are forgotten.
+     *
+     * @param task the task
+     * @return the same task
+     */
+    public synchronized BukkitTask trackTask(BukkitTask task) {
+        BukkitScheduler scheduler = Bukkit.getScheduler();
+        tasks.removeIf(tracked -> !isAlive(scheduler, tracked) || tracked.getTaskId() == task.getTaskId());
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Records a listener, it must still be registered by the loader.
+     *
+     * @param listener the listener
+     * @return the same listener
+     */
+    public synchronized <L extends Listener> L trackListener(L listener) {
+        if (listeners.stream().noneMatch(tracked -> tracked == listener)) {
+            listeners.add(listener);
+        }
+        return listener;
+    }
+
+    /**
+     * Takes a snapshot of the tasks and listeners the plugin currently owns.
+     *
+     * @param plugin the plugin owning the tasks and listeners
+     * @return the snapshot, to be given to {@link #recordSince(Plugin, Snapshot)}
+     */
+    public static Snapshot snapshot(Plugin plugin) {
+        Set<Integer> taskIds = new HashSet<>();
+        for (BukkitTask task : Bukkit.getScheduler().getPendingTasks()) {
+            if (task.getOwner() == plugin) {
+                taskIds.add(task.getTaskId());
+            }
+        }
+
+        Set<Listener> listeners = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RegisteredListener registeredListener : HandlerList.getRegisteredListeners(plugin)) {
+            listeners.add(registeredListener.getListener());
+        }
+        return new Snapshot(taskIds, listeners);
+    }
+
+    /**
+     * Records the tasks and listeners the plugin gained since the given snapshot was taken.
+     *
+     * @param plugin the plugin owning the tasks and listeners
+     * @param before the snapshot taken before the loader ran
+     */
+    public synchronized void recordSince(Plugin plugin, Snapshot before) {
+        for (BukkitTask task : Bukkit.getScheduler().getPendingTasks()) {
+            if (task.getOwner() == plugin && !before.taskIds().contains(task.getTaskId())) {
+                trackTask(task);
+            }
+        }
+
+        for (RegisteredListener registeredListener : HandlerList.getRegisteredListeners(plugin)) {
+            if (!before.listeners().contains(registeredListener.getListener())) {
+                trackListener(registeredListener.getListener());
+            }
+        }
+    }
+
+    /**
+     * Records a config container.
+     *
+     * @param config the config container
+     * @return the same config container
+     */
+    public synchronized <C> ConfigContainer<C> trackConfig(ConfigContainer<C> config) {
+        configs.add(config);
+        return config;
+    }
+
+    /**
+     * Records a command. Tracked commands are registered by the plugin once the loader is enabled.
+     *
+     * @param command the command
+     * @return the same command
+     */
+    public synchronized <T extends BaseCommand> T trackCommand(T command) {
+        commands.add(command);
+        return command;
+    }
+
+    public synchronized List<BukkitTask> getTasks() {
+        BukkitScheduler scheduler = Bukkit.getScheduler();
+        return tasks.stream().filter(task -> isAlive(scheduler, task)).toList();
+    }
+
+    public synchronized List<Listener> getListeners() {
+        return List.copyOf(listeners);
+    }
+
+    public synchronized List<ConfigContainer<?>> getConfigs() {
+        return List.copyOf(configs);
+    }
+
+    public synchronized List<BaseCommand> getCommands() {
+        return List.copyOf(commands);
+    }
+
+    /**
+     * Gets the objects tracked by this ledger, used as roots when estimating the size of a loader.
+     *
+     * @return the tracked listeners, configs and commands
+     */
+    public synchronized List<Object> getRoots() {
+        List<Object> roots = new ArrayList<>(listeners);
+        roots.addAll(configs);
+        roots.addAll(commands);
+        return roots;
+    }
+
+    /**
+     * Cancels the tasks and unregisters the listeners still alive, then forgets every tracked resource.
+     * <p>
+     * Commands are not reported, loaders cannot unregister them and the plugin removes them itself.
+     *
+     * @param plugin the plugin owning the listeners
+     * @return a description of each resource the loader left behind, empty if it cleaned up after itself
+     */
+    public synchronized List<String> release(Plugin plugin) {
+        List<String> leaks = new ArrayList<>();
+
+        BukkitScheduler scheduler = Bukkit.getScheduler();
+        for (BukkitTask task : tasks) {
+            if (isAlive(scheduler, task)) {
+                leaks.add("task #" + task.getTaskId());
+                task.cancel();
+            }
+        }
+
+        Set<Listener> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RegisteredListener registeredListener : HandlerList.getRegisteredListeners(plugin)) {
+            registered.add(registeredListener.getListener());
+        }
+        for (Listener listener : listeners) {
+            if (registered.contains(listener)) {
+                leaks.add("listener " + listener.getClass().getName());
+                HandlerList.unregisterAll(listener);
+            }
+        }
+
+        tasks.clear();
+        listeners.clear();
+        configs.clear();
+        commands.clear();
+        return leaks;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return getTasks().size() + " tasks, " + listeners.size() + " listeners, "
+                + configs.size() + " configs, " + commands.size() + " commands";
+    }
+
+    /**
+     * Tasks and listeners a plugin owned at some point.
+     *
+     * @param taskIds   the ids of the pending tasks
+     * @param listeners the registered listeners, compared by identity
+     */
+    public record Snapshot(Set<Integer> taskIds, Set<Listener> listeners) {
+    }
+
+    private static boolean isAlive(BukkitScheduler scheduler, BukkitTask task) {
+        return !task.isCancelled() && (scheduler.isQueued(task.getTaskId()) || scheduler.isCurrentlyRunning(task.getTaskId()));
+    }
+}
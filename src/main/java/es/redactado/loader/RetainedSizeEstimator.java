@@ -0,0 +1,249 @@
+package es.redactado.loader;
+
+import com.google.inject.Injector;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Estimates the memory held by a loader by walking the object graph reachable from its roots.
+ * <p>
+ * The walk stops at objects shared by the whole server (plugins, injectors, worlds, entities,
+ * classes, threads) and at the boundaries given by the caller, so the result is an estimate of what
+ * the loader keeps alive rather than an exact retained size. JDK types whose fields are encapsulated
+ * are walked through their public API: collections and maps are sized from their element count,
+ * atomic references and optionals are unwrapped, and strings are sized from their length. Sizes
+ * assume a 64-bit JVM with compressed references. The walk is expensive and must run on the thread
+ * that owns the walked objects, usually the main thread, and only on request.
+ */
+public final class RetainedSizeEstimator {
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+    // Approximate size of a hash map node, header plus hash, key, value and next
+    private static final int MAP_ENTRY = 32;
+    // Header plus the value reference, hash, coder and hashIsZero fields
+    private static final int STRING = 24;
+
+    private static final List<Class<?>> BOUNDARIES = List.of(
+            Class.class, ClassLoader.class, Thread.class, Injector.class,
+            Plugin.class, Server.class, World.class, Entity.class
+    );
+
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private RetainedSizeEstimator() {
+    }
+
+    /**
+     * Walks the graph reachable from the given roots.
+     *
+     * @param roots      the roots of the walk
+     * @param boundaries objects shared with the rest of the plugin, neither counted nor followed
+     * @param maxObjects the number of objects after which the walk stops
+     * @return the estimated size and the number of objects visited
+     */
+    public static Estimate estimate(Collection<?> roots, Set<Object> boundaries, int maxObjects) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new ArrayDeque<>();
+        for (Object root : roots) {
+            if (root != null) {
+                pending.push(root);
+            }
+        }
+
+        long bytes = 0;
+        boolean truncated = false;
+        while (!pending.isEmpty()) {
+            if (visited.size() >= maxObjects) {
+                truncated = true;
+                break;
+            }
+
+            Object object = pending.pop();
+            if (isBoundary(object) || boundaries.contains(object) || !visited.add(object)) {
+                continue;
+            }
+
+            Class<?> type = object.getClass();
+            if (type.isArray()) {
+                bytes += arraySize(object, pending);
+            } else if (type.getModule().isNamed() && isWalkedThroughApi(object)) {
+                bytes += apiSize(object, pending);
+            } else {
+                bytes += objectSize(object, pending);
+            }
+        }
+
+        return new Estimate(bytes, visited.size(), truncated);
+    }
+
+    private static long arraySize(Object array, Deque<Object> pending) {
+        Class<?> component = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        if (!component.isPrimitive()) {
+            for (Object element : (Object[]) array) {
+                if (element != null) {
+                    pending.push(element);
+                }
+            }
+        }
+        return align(ARRAY_HEADER + (long) length * sizeOf(component));
+    }
+
+    private static boolean isWalkedThroughApi(Object object) {
+        return object instanceof Collection<?> || object instanceof Map<?, ?> || object instanceof Map.Entry<?, ?>
+                || object instanceof String || object instanceof AtomicReference<?>
+                || object instanceof AtomicReferenceArray<?> || object instanceof Optional<?>;
+    }
+
+    /**
+     * Sizes an encapsulated JDK object from its contents.
+     * The object and its backing storage are counted, the elements are walked like any other object.
+     */
+    private static long apiSize(Object object, Deque<Object> pending) {
+        if (object instanceof String string) {
+            return STRING + align(ARRAY_HEADER + (long) string.length() * (isLatin1(string) ? 1 : 2));
+        }
+
+        long size = objectSize(object, pending);
+        try {
+            if (object instanceof AtomicReference<?> reference) {
+                pushIfPresent(reference.get(), pending);
+            } else if (object instanceof Optional<?> optional) {
+                pushIfPresent(optional.orElse(null), pending);
+            } else if (object instanceof AtomicReferenceArray<?> array) {
+                for (int i = 0; i < array.length(); i++) {
+                    pushIfPresent(array.get(i), pending);
+                }
+                size += align(ARRAY_HEADER + (long) array.length() * REFERENCE);
+            } else if (object instanceof Map<?, ?> map) {
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    pushIfPresent(entry.getKey(), pending);
+                    pushIfPresent(entry.getValue(), pending);
+                }
+                size += align(ARRAY_HEADER + (long) map.size() * REFERENCE * 4 / 3) + (long) map.size() * MAP_ENTRY;
+            } else if (object instanceof Collection<?> collection) {
+                for (Object element : collection) {
+                    pushIfPresent(element, pending);
+                }
+                size += align(ARRAY_HEADER + (long) collection.size() * REFERENCE);
+            } else if (object instanceof Map.Entry<?, ?> entry) {
+                pushIfPresent(entry.getKey(), pending);
+                pushIfPresent(entry.getValue(), pending);
+            }
+        } catch (RuntimeException ignored) {
+            // Modified concurrently, the elements seen so far are kept
+        }
+        return size;
+    }
+
+    /**
+     * Checks whether a string fits the compact one byte per character storage.
+     */
+    private static boolean isLatin1(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void pushIfPresent(Object object, Deque<Object> pending) {
+        if (object != null) {
+            pending.push(object);
+        }
+    }
+
+    private static long objectSize(Object object, Deque<Object> pending) {
+        long size = OBJECT_HEADER;
+        for (Field field : fieldsOf(object.getClass())) {
+            size += sizeOf(field.getType());
+            if (field.getType().isPrimitive() || !field.canAccess(object)) {
+                continue;
+            }
+
+            try {
+                Object value = field.get(object);
+                if (value != null) {
+                    pending.push(value);
+                }
+            } catch (IllegalAccessException ignored) {
+                // Counted as a leaf, the field still contributes its reference size
+            }
+        }
+        return align(size);
+    }
+
+    private static List<Field> fieldsOf(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, key -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = key; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+
+                    try {
+                        field.setAccessible(true);
+                    } catch (RuntimeException ignored) {
+                        // Fields of encapsulated JDK classes are sized but not followed, collections are walked through their API
+                    }
+                    fields.add(field);
+                }
+            }
+            return fields;
+        });
+    }
+
+    private static boolean isBoundary(Object object) {
+        for (Class<?> boundary : BOUNDARIES) {
+            if (boundary.isInstance(object)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class) return 8;
+        if (type == int.class || type == float.class) return 4;
+        if (type == short.class || type == char.class) return 2;
+        if (type == byte.class || type == boolean.class) return 1;
+        return REFERENCE;
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * Result of a walk.
+     *
+     * @param bytes     the estimated size in bytes
+     * @param objects   the number of objects visited
+     * @param truncated whether the walk stopped before visiting every reachable object
+     */
+    public record Estimate(long bytes, int objects, boolean truncated) {
+    }
+}
@@ -0,0 +1,118 @@
+package es.redactado.loader.commands;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.spi.DefaultBindingScopingVisitor;
+import com.google.inject.spi.InstanceBinding;
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.context.CommandContext;
+import es.redactado.RPlugin;
+import es.redactado.command.types.SubCommand;
+import es.redactado.loader.Loader;
+import es.redactado.loader.RetainedSizeEstimator;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Estimates the memory held by each loader with a walk of the object graph reachable from it.
+ * <p>
+ * Each walk starts at the loader and the resources in its ledger, and stops at objects bound in the
+ * injector and at other loaders, so shared singletons are not counted once per loader. The walk runs
+ * on the thread executing the command and is capped at {@link #MAX_OBJECTS} objects per loader.
+ */
+public class LoaderHeapSubCommand extends SubCommand {
+    private static final int MAX_OBJECTS = 100_000;
+
+    private final RPlugin plugin;
+
+    public LoaderHeapSubCommand(RPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    protected String getName() {
+        return "heap";
+    }
+
+    @Override
+    protected String getPermission() {
+        return plugin.getName().toLowerCase(Locale.ROOT) + ".loaders.heap";
+    }
+
+    @Override
+    protected int execute(CommandContext<CommandSender> context) {
+        CommandSender sender = context.getSource();
+        sender.sendMessage(Component.text("Walking the heap of " + plugin.getLoaders().size()
+                + " loaders (up to " + MAX_OBJECTS + " objects each), the server may pause..."));
+
+        Set<Object> shared = sharedObjects();
+        for (Loader loader : plugin.getLoaders()) {
+            Set<Object> boundaries = Collections.newSetFromMap(new IdentityHashMap<>());
+            boundaries.addAll(shared);
+            boundaries.addAll(plugin.getLoaders());
+            boundaries.remove(loader);
+
+            List<Object> roots = new ArrayList<>(loader.getResources().getRoots());
+            roots.add(loader);
+
+            RetainedSizeEstimator.Estimate estimate = RetainedSizeEstimator.estimate(roots, boundaries, MAX_OBJECTS);
+            sender.sendMessage(Component.text("  " + plugin.getLoaderId(loader) + ": ~" + formatBytes(estimate.bytes())
+                    + " in " + estimate.objects() + " objects" + (estimate.truncated() ? " (truncated)" : "")));
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    @Override
+    protected List<String> suggest(CommandContext<CommandSender> context, String[] args) {
+        // Takes no argument, every loader is walked
+        return List.of();
+    }
+
+    /**
+     * Collects the instances and eager singletons bound in the injector, shared by every loader.
+     * Both already exist, lazy bindings are skipped so the command never creates anything.
+     */
+    private Set<Object> sharedObjects() {
+        Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+        Injector injector = plugin.getInjector();
+        if (injector == null) {
+            return shared;
+        }
+
+        for (Binding<?> binding : injector.getAllBindings().values()) {
+            if (binding instanceof InstanceBinding<?> instanceBinding) {
+                shared.add(instanceBinding.getInstance());
+            } else if (isEagerSingleton(binding)) {
+                shared.add(binding.getProvider().get());
+            }
+        }
+        return shared;
+    }
+
+    private static boolean isEagerSingleton(Binding<?> binding) {
+        return binding.acceptScopingVisitor(new DefaultBindingScopingVisitor<Boolean>() {
+            @Override
+            public Boolean visitEagerSingleton() {
+                return true;
+            }
+
+            @Override
+            protected Boolean visitOther() {
+                return false;
+            }
+        });
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KiB", bytes / 1024.0);
+        return String.format("%.1f MiB", bytes / (1024.0 * 1024));
+    }
+}
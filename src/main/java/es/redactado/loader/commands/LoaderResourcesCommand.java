@@ -0,0 +1,46 @@
+package es.redactado.loader.commands;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.context.CommandContext;
+import es.redactado.RPlugin;
+import es.redactado.command.types.BaseCommand;
+import es.redactado.loader.Loader;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+
+import java.util.Locale;
+
+/**
+ * Lists the resources owned by each loader of a plugin.
+ * <p>
+ * Registered by {@link RPlugin} as {@code /<plugin>loaders}, with a {@code heap} subcommand
+ * estimating the memory held by each loader.
+ */
+public class LoaderResourcesCommand extends BaseCommand {
+    private final RPlugin plugin;
+
+    public LoaderResourcesCommand(RPlugin plugin) {
+        this.plugin = plugin;
+        addSubCommand(new LoaderHeapSubCommand(plugin));
+    }
+
+    @Override
+    protected String getName() {
+        return plugin.getName().toLowerCase(Locale.ROOT) + "loaders";
+    }
+
+    @Override
+    protected String getPermission() {
+        return plugin.getName().toLowerCase(Locale.ROOT) + ".loaders";
+    }
+
+    @Override
+    protected int executeDefault(CommandContext<CommandSender> context) {
+        CommandSender sender = context.getSource();
+        sender.sendMessage(Component.text(plugin.getLoaders().size() + " loaders:"));
+        for (Loader loader : plugin.getLoaders()) {
+            sender.sendMessage(Component.text("  " + plugin.getLoaderId(loader) + ": " + loader.getResources()));
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+}
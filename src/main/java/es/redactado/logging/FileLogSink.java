@@ -0,0 +1,226 @@
+package es.redactado.logging;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import es.redactado.config.ConfigContainer;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes {@link Logger} records as plain text or JSON lines to the {@code logs} folder of the plugin.
+ * <p>
+ * Records are queued to a dedicated writer thread, so logging never waits on disk. The format and the
+ * rolling limits are read from {@link LoggingConfig}. The active file is rolled once it exceeds the size
+ * limit or gets older than the roll interval, any file left by a previous run is rolled before the first
+ * record is written, and finished segments are gzipped on a separate thread.
+ */
+@Singleton
+public class FileLogSink {
+    private static final DateTimeFormatter SEGMENT_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS");
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+
+    private final JavaPlugin plugin;
+    private final ConfigContainer<LoggingConfig> config;
+    private final Path folder;
+    private final ScheduledExecutorService writer;
+    private final ExecutorService compressor;
+
+    private BufferedWriter output;
+    private Path outputFile;
+    private long outputBytes;
+    private long outputOpenedAt;
+    private boolean leftoversRolled;
+
+    @Inject
+    public FileLogSink(JavaPlugin plugin, ConfigContainer<LoggingConfig> config) {
+        this.plugin = plugin;
+        this.config = config;
+        this.folder = plugin.getDataFolder().toPath().resolve("logs");
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> newDaemonThread(runnable, "RCore Log Writer"));
+        this.compressor = Executors.newSingleThreadExecutor(runnable -> newDaemonThread(runnable, "RCore Log Compressor"));
+        this.writer.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a record for writing.
+     *
+     * @param level   the level of the record
+     * @param message the message, already serialized to plain text
+     */
+    public void write(Logger.LogLevel level, String message) {
+        if (writer.isShutdown()) {
+            return;
+        }
+
+        Instant time = Instant.now();
+        String thread = Thread.currentThread().getName();
+        try {
+            writer.execute(() -> append(config.get().format.format(time, level, thread, message)));
+        } catch (RejectedExecutionException ignored) {
+            // Closed while queuing, the record is dropped like any record logged after close
+        }
+    }
+
+    /**
+     * Flushes pending records, closes the active file and waits for running compressions to finish.
+     */
+    public void close() {
+        if (writer.isShutdown()) {
+            return;
+        }
+
+        try {
+            writer.execute(this::closeOutput);
+        } catch (RejectedExecutionException ignored) {
+            // Closed concurrently, the other call closes the output
+        }
+        writer.shutdown();
+        try {
+            // The writer may still hand rolled segments to the compressor until it terminates
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+            compressor.shutdown();
+            compressor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(String record) {
+        try {
+            if (output != null && shouldRoll()) {
+                roll();
+            }
+
+            if (output == null) {
+                open();
+            }
+
+            output.write(record);
+            output.newLine();
+            outputBytes += record.getBytes(StandardCharsets.UTF_8).length + System.lineSeparator().length();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to write log record", e);
+        }
+    }
+
+    private boolean shouldRoll() {
+        LoggingConfig settings = config.get();
+        long maxBytes = settings.maxFileBytes;
+        long interval = settings.rollIntervalMillis;
+        return !outputFile.getFileName().toString().endsWith(settings.format.getExtension())
+                || (maxBytes > 0 && outputBytes >= maxBytes)
+                || (interval > 0 && System.currentTimeMillis() - outputOpenedAt >= interval);
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(folder);
+        if (!leftoversRolled) {
+            leftoversRolled = true;
+            rollLeftovers();
+        }
+
+        outputFile = folder.resolve("latest" + config.get().format.getExtension());
+        output = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        outputBytes = Files.size(outputFile);
+        outputOpenedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Rolls the files left by a previous run, whatever their format, so each run starts a new file
+     * and the age of the active file is always known.
+     */
+    private void rollLeftovers() throws IOException {
+        List<Path> leftovers;
+        try (Stream<Path> files = Files.list(folder)) {
+            leftovers = files.filter(file -> file.getFileName().toString().startsWith("latest.")).toList();
+        }
+
+        for (Path leftover : leftovers) {
+            if (Files.size(leftover) == 0) {
+                Files.delete(leftover);
+            } else {
+                rollFile(leftover);
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        Path file = outputFile;
+        closeOutput();
+        rollFile(file);
+    }
+
+    private void rollFile(Path file) throws IOException {
+        // Keeps the extension of the rolled file, the format may have changed since it was opened
+        String name = file.getFileName().toString();
+        Path segment = folder.resolve(LocalDateTime.now().format(SEGMENT_DATE_FORMAT) + name.substring(name.indexOf('.')));
+        Files.move(file, segment);
+        compressor.execute(() -> compress(segment));
+    }
+
+    private void flush() {
+        try {
+            if (output != null) {
+                output.flush();
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to flush log file", e);
+        }
+    }
+
+    private void closeOutput() {
+        if (output == null) {
+            return;
+        }
+
+        try {
+            output.close();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to close log file", e);
+        }
+        output = null;
+    }
+
+    private void compress(Path segment) {
+        Path target = segment.resolveSibling(segment.getFileName() + ".gz");
+        try (InputStream in = Files.newInputStream(segment);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to compress log segment " + segment.getFileName(), e);
+            return;
+        }
+
+        try {
+            Files.delete(segment);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to delete compressed log segment " + segment.getFileName(), e);
+        }
+    }
+
+    private static Thread newDaemonThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
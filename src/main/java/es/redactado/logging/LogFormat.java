@@ -0,0 +1,63 @@
+package es.redactado.logging;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Format of the records written by {@link FileLogSink}.
+ */
+@Getter
+public enum LogFormat {
+    PLAIN(".log") {
+        @Override
+        String format(Instant time, Logger.LogLevel level, String thread, String message) {
+            return "[" + TIME_FORMAT.format(time) + "] [" + thread + "/" + level.name() + "] " + message;
+        }
+    },
+    JSON(".jsonl") {
+        @Override
+        String format(Instant time, Logger.LogLevel level, String thread, String message) {
+            return "{\"time\":\"" + time + "\",\"level\":\"" + level.name()
+                    + "\",\"thread\":" + quote(thread) + ",\"message\":" + quote(message) + "}";
+        }
+    };
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final String extension;
+
+    LogFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Formats a single record, without its line separator.
+     */
+    abstract String format(Instant time, Logger.LogLevel level, String thread, String message);
+
+    private static String quote(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -0,0 +1,19 @@
+package es.redactado.logging;
+
+/**
+ * Destinations a {@link Logger} level is sent to.
+ */
+public enum LogRoute {
+    NONE(false, false), // The level is discarded
+    CONSOLE(true, false), // Only sent to the console audience
+    FILE(false, true), // Only written by the file sink
+    BOTH(true, true); // Sent to the console audience and written by the file sink
+
+    final boolean console;
+    final boolean file;
+
+    LogRoute(boolean console, boolean file) {
+        this.console = console;
+        this.file = file;
+    }
+}
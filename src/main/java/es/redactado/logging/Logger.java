@@ -9,8 +9,11 @@ import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.concurrent.CompletableFuture;
+
 @Singleton
 public class Logger {
     private final MiniMessage miniMessage;
@@ -18,14 +21,40 @@ public class Logger {
     private final Audience console;
     private final ConfigContainer<Config> configContainer;
     private final Config config;
+    // Fully qualified, the plugin config container above shares its simple name
+    private final es.redactado.config.ConfigContainer<LoggingConfig> loggingConfig;
+    private final FileLogSink fileSink;
 
     @Inject
-    public Logger(JavaPlugin plugin, ConfigContainer<Config> configContainer) {
+    public Logger(JavaPlugin plugin, ConfigContainer<Config> configContainer,
+                  es.redactado.config.ConfigContainer<LoggingConfig> loggingConfig, FileLogSink fileSink) {
         this.miniMessage = MiniMessage.miniMessage();
         this.prefix = miniMessage.deserialize("<#eb64f8><bold>RandomUtils</bold></#eb64f8> <dark_gray>» ");
         this.console = BukkitAudiences.create(plugin).console();
         this.configContainer = configContainer;
         this.config = configContainer.get();
+        this.loggingConfig = loggingConfig;
+        this.fileSink = fileSink;
+    }
+
+    /**
+     * Reloads {@code logging.yml}. Routes, file format and rolling limits are read on every record,
+     * so they apply as soon as the future completes.
+     *
+     * @return a future completed once the settings are reloaded
+     */
+    public CompletableFuture<Void> reloadConfig() {
+        return loggingConfig.reload();
+    }
+
+    /**
+     * Gets where the messages of the given level are sent to, as configured in {@code logging.yml}.
+     *
+     * @param level the level
+     * @return the destinations of the level
+     */
+    public LogRoute getRoute(LogLevel level) {
+        return loggingConfig.get().routes.getOrDefault(level, LogRoute.BOTH);
     }
 
     public void info(String message, Object... args) {
@@ -65,17 +94,22 @@ public class Logger {
     }
 
     private void log(LogLevel level, String message, Object... args) {
-        Component formattedMessage = prefix.append(level.getColor()).append(miniMessage.deserialize(String.format(message, args)));
-        console.sendMessage(formattedMessage);
+        log(level, miniMessage.deserialize(String.format(message, args)));
     }
 
     private void log(LogLevel level, Component message) {
-        Component formattedMessage = prefix.append(level.getColor()).append(message);
-        console.sendMessage(formattedMessage);
+        LogRoute route = getRoute(level);
+        if (route.console) {
+            Component formattedMessage = prefix.append(level.getColor()).append(message);
+            console.sendMessage(formattedMessage);
+        }
+        if (route.file) {
+            fileSink.write(level, PlainTextComponentSerializer.plainText().serialize(message));
+        }
     }
 
     @Getter
-    private enum LogLevel {
+    public enum LogLevel {
         INFO(Component.text().color(net.kyori.adventure.text.format.TextColor.fromHexString("#f9b4eb")).build()),
         WARN(Component.text().color(net.kyori.adventure.text.format.TextColor.fromHexString("#f9e5b4")).build()),
         ERROR(Component.text().color(net.kyori.adventure.text.format.TextColor.fromHexString("#f9beb4")).build()),
@@ -0,0 +1,34 @@
+package es.redactado.logging;
+
+import de.exlll.configlib.Comment;
+import de.exlll.configlib.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of {@link Logger} and {@link FileLogSink}, loaded from {@code logging.yml}.
+ */
+@Configuration
+public class LoggingConfig {
+    @Comment("Where each level is sent to: NONE, CONSOLE, FILE or BOTH. Missing levels are sent to BOTH.")
+    public Map<Logger.LogLevel, LogRoute> routes = defaultRoutes();
+
+    @Comment("Format of the log files: PLAIN or JSON (one JSON object per line).")
+    public LogFormat format = LogFormat.PLAIN;
+
+    @Comment("Size in bytes after which the log file is rolled, 0 to disable size based rolling.")
+    public long maxFileBytes = 10L * 1024 * 1024;
+
+    @Comment("Age in milliseconds after which the log file is rolled, 0 to disable time based rolling.")
+    public long rollIntervalMillis = TimeUnit.DAYS.toMillis(1);
+
+    private static Map<Logger.LogLevel, LogRoute> defaultRoutes() {
+        Map<Logger.LogLevel, LogRoute> routes = new EnumMap<>(Logger.LogLevel.class);
+        for (Logger.LogLevel level : Logger.LogLevel.values()) {
+            routes.put(level, LogRoute.BOTH);
+        }
+        return routes;
+    }
+}
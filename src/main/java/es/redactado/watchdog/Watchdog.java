@@ -0,0 +1,281 @@
+package es.redactado.watchdog;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import es.redactado.config.ConfigContainer;
+import es.redactado.logging.Logger;
+import net.kyori.adventure.text.Component;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Samples the stack of threads running tracked RCore sections.
+ * <p>
+ * A section (loader lifecycle call, command execution, suggestion provider, config reload)
+ * is opened with {@link #enter(String)} and closed when the returned {@link Section} is closed.
+ * Sampling only starts once a section has been running for longer than the threshold of
+ * {@link WatchdogConfig}, so sections that finish in time cost a single scheduled task, removed from
+ * the queue as soon as they close. Slow sections are reported as a flat profile through {@link Logger}
+ * and written to the {@code watchdog} folder of the plugin.
+ */
+@Singleton
+public class Watchdog {
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS");
+    private static final int LOGGED_FRAMES = 5;
+
+    private final Logger logger;
+    private final ConfigContainer<WatchdogConfig> config;
+    private final Path folder;
+    private final ScheduledThreadPoolExecutor executor;
+    private final ThreadLocal<TrackedSection> activeSection = new ThreadLocal<>();
+    // Only touched from the watchdog thread
+    private final Map<String, Long> lastReports = new HashMap<>();
+    private final Map<String, Integer> suppressedReports = new HashMap<>();
+
+    @Inject
+    public Watchdog(JavaPlugin plugin, Logger logger, ConfigContainer<WatchdogConfig> config) {
+        this.logger = logger;
+        this.config = config;
+        this.folder = plugin.getDataFolder().toPath().resolve("watchdog");
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "RCore Watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Sections that finish in time cancel their sampler, it must not wait in the queue until its delay ends
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Opens a tracked section on the current thread.
+     * <p>
+     * Sections nested inside another section of the same thread are not tracked separately,
+     * their time is already accounted for by the outer one.
+     *
+     * @param name the name of the section, used in reports
+     * @return the section, to be closed once the tracked code finishes
+     */
+    public Section enter(@NotNull String name) {
+        WatchdogConfig settings = config.get();
+        if (!settings.enabled || executor.isShutdown() || activeSection.get() != null) {
+            return Section.NONE;
+        }
+
+        TrackedSection section = new TrackedSection(name, Thread.currentThread(), settings);
+        try {
+            section.future = executor.scheduleAtFixedRate(section::sample, settings.thresholdMillis,
+                    Math.max(1, settings.sampleIntervalMillis), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shut down since the check above, the section is not tracked
+            return Section.NONE;
+        }
+
+        activeSection.set(section);
+        return section;
+    }
+
+    /**
+     * Opens a tracked section on {@code watchdog}, or an untracked one if no watchdog is available.
+     *
+     * @param watchdog the watchdog, may be null
+     * @param name     the name of the section
+     * @return the section, to be closed once the tracked code finishes
+     */
+    public static Section enter(@Nullable Watchdog watchdog, @NotNull String name) {
+        return watchdog != null ? watchdog.enter(name) : Section.NONE;
+    }
+
+    /**
+     * Reloads {@code watchdog.yml}. Sections opened afterwards use the new settings.
+     *
+     * @return a future completed once the settings are reloaded
+     */
+    public CompletableFuture<Void> reloadConfig() {
+        return config.reload();
+    }
+
+    /**
+     * Stops sampling. Sections opened afterwards are not tracked.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void report(TrackedSection section, long durationMillis, boolean finished) {
+        // The final report of a hung section completes its hang report, it is never suppressed
+        boolean completesHang = finished && section.reportFile != null;
+        long now = System.currentTimeMillis();
+        Long lastReport = lastReports.get(section.name);
+        if (!completesHang && lastReport != null && now - lastReport < section.settings.reportCooldownMillis) {
+            suppressedReports.merge(section.name, 1, Integer::sum);
+            return;
+        }
+        lastReports.put(section.name, now);
+        Integer suppressed = suppressedReports.remove(section.name);
+
+        List<Map.Entry<String, Integer>> frames = section.selfCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .toList();
+
+        String header = (completesHang ? "Hung section finished " : finished ? "Slow section " : "Section still running ") + section.name
+                + " (" + durationMillis + "ms, " + section.samples + " samples on " + section.thread.getName() + ")"
+                + (suppressed != null ? ", " + suppressed + " similar reports suppressed" : "");
+
+        // Frames are sent as plain text components, stack frames such as <init> would otherwise be parsed as tags
+        logger.warn(Component.text(header));
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+            logger.warn(Component.text("  " + formatFrame(section, frames.get(i))));
+        }
+
+        StringBuilder profile = new StringBuilder(header).append(System.lineSeparator())
+                .append(String.format("%7s %7s  %s", "self", "total", "frame")).append(System.lineSeparator());
+        section.totalCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> profile.append(formatFrame(section, entry)).append(System.lineSeparator()));
+
+        // The final report of a hung section replaces its hang report
+        if (section.reportFile == null) {
+            section.reportFile = LocalDateTime.now().format(FILE_DATE_FORMAT) + "-" + section.name.replaceAll("[^A-Za-z0-9._-]", "_") + ".txt";
+        }
+        String fileName = section.reportFile;
+        try {
+            Files.createDirectories(folder);
+            Files.writeString(folder.resolve(fileName), profile, StandardCharsets.UTF_8);
+            deleteOldProfiles(section.settings.maxProfiles);
+        } catch (IOException e) {
+            logger.error(Component.text("Failed to write watchdog profile " + fileName + ": " + e.getMessage()));
+        }
+    }
+
+    private void deleteOldProfiles(int maxProfiles) throws IOException {
+        List<Path> profiles;
+        try (Stream<Path> files = Files.list(folder)) {
+            // File names start with their date, so they sort from oldest to newest
+            profiles = files.filter(file -> file.getFileName().toString().endsWith(".txt"))
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                    .toList();
+        }
+
+        for (int i = 0; i < profiles.size() - maxProfiles; i++) {
+            Files.deleteIfExists(profiles.get(i));
+        }
+    }
+
+    private String formatFrame(TrackedSection section, Map.Entry<String, Integer> entry) {
+        int self = section.selfCounts.getOrDefault(entry.getKey(), 0);
+        int total = section.totalCounts.getOrDefault(entry.getKey(), 0);
+        return String.format("%6.1f%% %6.1f%%  %s", percent(self, section.samples), percent(total, section.samples), entry.getKey());
+    }
+
+    private static double percent(int count, int samples) {
+        return samples == 0 ? 0 : count * 100.0 / samples;
+    }
+
+    /**
+     * A section opened with {@link #enter(String)}.
+     */
+    public interface Section extends AutoCloseable {
+        /**
+         * Section returned when nothing is tracked. Closing it does nothing.
+         */
+        Section NONE = () -> {
+        };
+
+        @Override
+        void close();
+    }
+
+    /**
+     * A tracked section. Its counters are only touched from the watchdog thread.
+     */
+    private class TrackedSection implements Section {
+        private final String name;
+        private final Thread thread;
+        private final WatchdogConfig settings;
+        private final long start = System.nanoTime();
+        private final Map<String, Integer> selfCounts = new HashMap<>();
+        private final Map<String, Integer> totalCounts = new HashMap<>();
+        private ScheduledFuture<?> future;
+        private int samples;
+        private boolean hangReported;
+        private String reportFile;
+
+        private TrackedSection(String name, Thread thread, WatchdogConfig settings) {
+            this.name = name;
+            this.thread = thread;
+            this.settings = settings;
+        }
+
+        private void sample() {
+            StackTraceElement[] stack = thread.getStackTrace();
+            if (stack.length == 0) {
+                return;
+            }
+
+            samples++;
+            selfCounts.merge(stack[0].toString(), 1, Integer::sum);
+
+            // Recursive frames only count once towards the total of a sample
+            Set<String> seen = new HashSet<>();
+            for (StackTraceElement element : stack) {
+                String frame = element.toString();
+                if (seen.add(frame)) {
+                    totalCounts.merge(frame, 1, Integer::sum);
+                }
+            }
+
+            long elapsedMillis = elapsedMillis();
+            if (!hangReported && elapsedMillis >= settings.hangMillis) {
+                hangReported = true;
+                report(this, elapsedMillis, false);
+            }
+        }
+
+        private long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
+        @Override
+        public void close() {
+            activeSection.remove();
+            future.cancel(false);
+
+            // No sample can have been taken before the threshold, there is nothing to report
+            long durationMillis = elapsedMillis();
+            if (durationMillis < settings.thresholdMillis || executor.isShutdown()) {
+                return;
+            }
+
+            try {
+                // Runs after any sample already in flight, the executor only has one thread
+                executor.execute(() -> {
+                    if (samples > 0) {
+                        report(this, durationMillis, true);
+                    }
+                });
+            } catch (RejectedExecutionException ignored) {
+                // Shut down since the check above, the section is dropped like any section closed after shutdown
+            }
+        }
+    }
+}
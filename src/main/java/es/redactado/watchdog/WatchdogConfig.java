@@ -0,0 +1,28 @@
+package es.redactado.watchdog;
+
+import de.exlll.configlib.Comment;
+import de.exlll.configlib.Configuration;
+
+/**
+ * Settings of {@link Watchdog}, loaded from {@code watchdog.yml}.
+ */
+@Configuration
+public class WatchdogConfig {
+    @Comment("Whether slow RCore sections are sampled at all.")
+    public boolean enabled = true;
+
+    @Comment("Time in milliseconds a section may run before its thread starts being sampled.")
+    public long thresholdMillis = 50;
+
+    @Comment("Time in milliseconds between two samples of a slow section.")
+    public long sampleIntervalMillis = 5;
+
+    @Comment("Time in milliseconds after which a section still running is reported as hung.")
+    public long hangMillis = 10_000;
+
+    @Comment("Minimum time in milliseconds between two reports of sections with the same name.")
+    public long reportCooldownMillis = 60_000;
+
+    @Comment("Number of profile files kept in the watchdog folder, the oldest ones are deleted first.")
+    public int maxProfiles = 50;
+}